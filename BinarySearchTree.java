@@ -1,8 +1,13 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
 /**
  * Generic Binary Search Tree implementation
  * Supports operations on any comparable data type
  */
-public class BinarySearchTree<T extends Comparable<T>> {
+public class BinarySearchTree<T extends Comparable<T>> implements SearchTree<T> {
     
     private NodeType<T> root; // Root node of the tree
     
@@ -20,10 +25,34 @@ public class BinarySearchTree<T extends Comparable<T>> {
      * @param key The value to insert
      */
     public void insert(T key) {
+        if (!add(key)) {
+            System.out.println("The item already exists in the tree.");
+        }
+    }
+    
+    /**
+     * Insert each value in list order
+     * 
+     * @param keys The values to insert
+     */
+    public void insertAll(List<T> keys) {
+        for (T key : keys) {
+            insert(key);
+        }
+    }
+    
+    /**
+     * Insert a node with the value of key without printing anything
+     * Used by ShardedBinarySearchTree, which reports duplicates itself
+     * 
+     * @param key The value to insert
+     * @return true if inserted, false if the value was already present
+     */
+    boolean add(T key) {
         // Special case: If tree is empty, create root node
         if (root == null) {
             root = new NodeType<>(key);
-            return;
+            return true;
         }
         
         NodeType<T> current = root;
@@ -37,8 +66,7 @@ public class BinarySearchTree<T extends Comparable<T>> {
             
             if (compareResult == 0) {
                 // Item already exists
-                System.out.println("The item already exists in the tree.");
-                return;
+                return false;
             }
             
             parent = current;
@@ -62,6 +90,8 @@ public class BinarySearchTree<T extends Comparable<T>> {
         } else {
             parent.right = newNode;
         }
+        
+        return true;
     }
     
     /**
@@ -198,61 +228,99 @@ public class BinarySearchTree<T extends Comparable<T>> {
      */
     public void inOrder() {
         System.out.print("In-order: ");
-        inOrderTraversal(root);
-        System.out.println();
+        List<T> values = new ArrayList<>();
+        collectInOrder(values);
+        printValues(values);
     }
     
     /**
-     * Helper method for in-order traversal
-     * Uses recursion for simplicity and correctness
+     * Print the values between low and high (inclusive) in sorted order
      * 
-     * @param node Current node in traversal
+     * @param low Lower bound of the range
+     * @param high Upper bound of the range
      */
-    private void inOrderTraversal(NodeType<T> node) {
-        if (node != null) {
-            // First visit left subtree
-            inOrderTraversal(node.left);
-            // Then visit current node
-            System.out.print(node.info + " ");
-            // Finally visit right subtree
-            inOrderTraversal(node.right);
-        }
+    public void getRange(T low, T high) {
+        System.out.print("Range [" + low + ", " + high + "]: ");
+        List<T> values = new ArrayList<>();
+        collectRange(low, high, values);
+        printValues(values);
     }
     
     /**
      * Print nodes that have exactly one child (single parents)
+     * Nodes are printed in level order
      */
     public void getSingleParent() {
         System.out.print("Single Parents: ");
-        
-        // If tree is empty, just print a newline
-        if (root == null) {
-            System.out.println();
-            return;
+        List<T> values = new ArrayList<>();
+        collectSingleParents(values);
+        printValues(values);
+    }
+    
+    /**
+     * Count and print the number of leaf nodes in the tree
+     * 
+     * @return Number of leaf nodes
+     */
+    public int getNumLeafNodes() {
+        int count = countLeafNodes();
+        System.out.println("The number of leaf nodes are " + count);
+        return count;
+    }
+    
+    /**
+     * Print a list of values on one line
+     * 
+     * @param values Values to print
+     */
+    private void printValues(List<T> values) {
+        for (T value : values) {
+            System.out.print(value + " ");
         }
+        System.out.println();
+    }
+    
+    /**
+     * Print the cousins of a given node
+     * Cousins are nodes at the same level that share the same grandparent but have different parents
+     * 
+     * @param item Value to find cousins of
+     */
+    public void getCousins(T item) {
+        System.out.print(item + " cousins: ");
         
-        // Use an array-based queue for level-order traversal
-        NodeType<T>[] queue = new NodeType[100]; // Assume max 100 nodes for simplicity
-        int front = 0;
-        int rear = 0;
-        
-        queue[rear++] = root;
+        // Search down from the root, remembering the parent and grandparent
+        NodeType<T> grandparent = null;
+        NodeType<T> parent = null;
+        NodeType<T> current = root;
         
-        while (front < rear) {
-            NodeType<T> current = queue[front++];
+        while (current != null) {
+            int compareResult = item.compareTo(current.info);
             
-            // Check if node has exactly one child
-            if ((current.left == null && current.right != null) || 
-                (current.left != null && current.right == null)) {
-                System.out.print(current.info + " ");
+            if (compareResult == 0) {
+                break;
             }
             
-            // Add children to queue
-            if (current.left != null) {
-                queue[rear++] = current.left;
+            grandparent = parent;
+            parent = current;
+            current = compareResult < 0 ? current.left : current.right;
+        }
+        
+        // If node not found or has no grandparent, no cousins
+        if (current == null || grandparent == null) {
+            System.out.println();
+            return;
+        }
+        
+        // Cousins are the children of the parent's sibling
+        NodeType<T> uncle = (grandparent.left == parent) ? grandparent.right : grandparent.left;
+        
+        if (uncle != null) {
+            if (uncle.left != null) {
+                System.out.print(uncle.left.info + " ");
             }
-            if (current.right != null) {
-                queue[rear++] = current.right;
+            if (uncle.right != null) {
+                System.out.print(uncle.right.info + " ");
             }
         }
         
@@ -260,182 +328,119 @@ public class BinarySearchTree<T extends Comparable<T>> {
     }
     
     /**
-     * Count and print the number of leaf nodes in the tree
+     * Add every value in the tree to out in sorted order
+     * Iterative so that a degenerate (list-shaped) tree cannot overflow the stack
      * 
-     * @return Number of leaf nodes
+     * @param out List that receives the values
      */
-    public int getNumLeafNodes() {
-        int count = 0;
+    void collectInOrder(List<T> out) {
+        Deque<NodeType<T>> stack = new ArrayDeque<>();
+        NodeType<T> current = root;
         
-        // If tree is empty, return 0
-        if (root == null) {
-            System.out.println("The number of leaf nodes are " + count);
-            return count;
+        while (current != null || !stack.isEmpty()) {
+            // Walk as far left as possible, remembering the path
+            while (current != null) {
+                stack.push(current);
+                current = current.left;
+            }
+            
+            current = stack.pop();
+            out.add(current.info);
+            current = current.right;
         }
+    }
+    
+    /**
+     * Add the values between low and high (inclusive) to out in sorted order
+     * Skips subtrees that lie entirely outside the range
+     * 
+     * @param low Lower bound of the range
+     * @param high Upper bound of the range
+     * @param out List that receives the values
+     */
+    void collectRange(T low, T high, List<T> out) {
+        Deque<NodeType<T>> stack = new ArrayDeque<>();
+        NodeType<T> current = root;
         
-        // Use an array-based queue for level-order traversal
-        NodeType<T>[] queue = new NodeType[100]; // Assume max 100 nodes for simplicity
-        int front = 0;
-        int rear = 0;
-        
-        queue[rear++] = root;
-        
-        while (front < rear) {
-            NodeType<T> current = queue[front++];
-            
-            // Check if node is a leaf (no children)
-            if (current.left == null && current.right == null) {
-                count++;
+        while (current != null || !stack.isEmpty()) {
+            // Only go left while smaller values could still be in range
+            while (current != null) {
+                stack.push(current);
+                current = current.info.compareTo(low) > 0 ? current.left : null;
             }
             
-            // Add children to queue
-            if (current.left != null) {
-                queue[rear++] = current.left;
-            }
-            if (current.right != null) {
-                queue[rear++] = current.right;
+            current = stack.pop();
+            if (current.info.compareTo(low) >= 0 && current.info.compareTo(high) <= 0) {
+                out.add(current.info);
             }
+            
+            // Only go right while larger values could still be in range
+            current = current.info.compareTo(high) < 0 ? current.right : null;
         }
-        
-        System.out.println("The number of leaf nodes are " + count);
-        return count;
     }
     
     /**
-     * Print the cousins of a given node
-     * Cousins are nodes at the same level that share the same grandparent but have different parents
+     * Add the values of nodes with exactly one child to out in level order
      * 
-     * @param item Value to find cousins of
+     * @param out List that receives the values
      */
-    public void getCousins(T item) {
-        System.out.print(item + " cousins: ");
-        
-        // If tree is empty or only has root, no cousins possible
-        if (root == null || (root.left == null && root.right == null)) {
-            System.out.println();
+    void collectSingleParents(List<T> out) {
+        if (root == null) {
             return;
         }
         
-        // First find the node, its parent, and its level
-        int nodeLevel = -1;
-        NodeType<T> nodeParent = null;
-        
-        // Use an array-based queue for level-order traversal
-        NodeType<T>[] queue = new NodeType[100]; // Assume max 100 nodes for simplicity
-        int front = 0;
-        int rear = 0;
-        
-        // Store both node and its parent
-        queue[rear++] = root;
-        queue[rear++] = null; // Root has no parent
+        Deque<NodeType<T>> queue = new ArrayDeque<>();
+        queue.add(root);
         
-        // Also keep track of level
-        int level = 0;
-        int levelNodes = 1; // Nodes at current level
-        int nextLevelNodes = 0; // Nodes at next level
-        
-        while (front < rear) {
-            NodeType<T> current = queue[front++];
-            NodeType<T> parent = queue[front++];
+        while (!queue.isEmpty()) {
+            NodeType<T> current = queue.remove();
             
-            if (current.info.compareTo(item) == 0) {
-                nodeLevel = level;
-                nodeParent = parent;
-                break;
+            // Check if node has exactly one child
+            if ((current.left == null) != (current.right == null)) {
+                out.add(current.info);
             }
             
+            // Add children to queue
             if (current.left != null) {
-                queue[rear++] = current.left;
-                queue[rear++] = current;
-                nextLevelNodes++;
+                queue.add(current.left);
             }
-            
             if (current.right != null) {
-                queue[rear++] = current.right;
-                queue[rear++] = current;
-                nextLevelNodes++;
-            }
-            
-            levelNodes--;
-            if (levelNodes == 0) {
-                level++;
-                levelNodes = nextLevelNodes;
-                nextLevelNodes = 0;
+                queue.add(current.right);
             }
         }
-        
-        // If node not found or is root, no cousins
-        if (nodeLevel <= 0 || nodeParent == null) {
-            System.out.println();
-            return;
+    }
+    
+    /**
+     * Count the leaf nodes without printing anything
+     * 
+     * @return Number of leaf nodes
+     */
+    int countLeafNodes() {
+        if (root == null) {
+            return 0;
         }
         
-        // Find all nodes at the same level
-        front = 0;
-        rear = 0;
-        level = 0;
-        levelNodes = 1;
-        nextLevelNodes = 0;
-        
-        queue[rear++] = root;
-        queue[rear++] = null;
+        int count = 0;
+        Deque<NodeType<T>> queue = new ArrayDeque<>();
+        queue.add(root);
         
-        while (front < rear) {
-            NodeType<T> current = queue[front++];
-            NodeType<T> parent = queue[front++];
+        while (!queue.isEmpty()) {
+            NodeType<T> current = queue.remove();
             
-            if (level == nodeLevel && parent != null && parent != nodeParent) {
-                // Check if parent's parent is the same as nodeParent's parent
-                
-                // Get grandparent for current node
-                NodeType<T> grandparent = null;
-                for (int i = 0; i < rear; i += 2) {
-                    if (queue[i] == parent) {
-                        grandparent = queue[i + 1];
-                        break;
-                    }
-                }
-                
-                // Get grandparent for target node
-                NodeType<T> nodeGrandparent = null;
-                for (int i = 0; i < rear; i += 2) {
-                    if (queue[i] == nodeParent) {
-                        nodeGrandparent = queue[i + 1];
-                        break;
-                    }
-                }
-                
-                // If same grandparent, they're cousins
-                if (grandparent != null && nodeGrandparent != null && grandparent == nodeGrandparent) {
-                    System.out.print(current.info + " ");
-                }
+            // Check if node is a leaf (no children)
+            if (current.left == null && current.right == null) {
+                count++;
             }
             
+            // Add children to queue
             if (current.left != null) {
-                queue[rear++] = current.left;
-                queue[rear++] = current;
-                nextLevelNodes++;
+                queue.add(current.left);
             }
-            
             if (current.right != null) {
-                queue[rear++] = current.right;
-                queue[rear++] = current;
-                nextLevelNodes++;
-            }
-            
-            levelNodes--;
-            if (levelNodes == 0) {
-                level++;
-                levelNodes = nextLevelNodes;
-                nextLevelNodes = 0;
-                
-                // If we've gone past the target level, we're done
-                if (level > nodeLevel) {
-                    break;
-                }
+                queue.add(current.right);
             }
         }
         
-        System.out.println();
+        return count;
     }
 }
@@ -1,6 +1,13 @@
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Driver program for the Binary Search Tree
@@ -11,16 +18,33 @@ public class BinarySearchTreeDriver {
     /**
      * Main method to run the program
      * 
-     * @param args Command line arguments (input file name)
+     * @param args Command line arguments ([--shards n] input file names)
      */
     public static void main(String[] args) {
+        // Shards used when several input files are given, one per core by default
+        int shardCount = Runtime.getRuntime().availableProcessors();
+        int first = 0;
+        
+        if (args.length >= 2 && args[0].equals("--shards")) {
+            try {
+                shardCount = Integer.parseInt(args[1]);
+            } catch (NumberFormatException e) {
+                shardCount = 0;
+            }
+            if (shardCount < 1) {
+                System.out.println("Error: Shard count must be a positive integer: " + args[1]);
+                System.exit(1);
+            }
+            first = 2;
+        }
+        
         // Check if the correct number of arguments are provided
-        if (args.length != 1) {
-            System.out.println("Usage: java BinarySearchTreeDriver <input-file>");
+        if (args.length <= first) {
+            System.out.println("Usage: java BinarySearchTreeDriver [--shards <n>] <input-file> [<input-file> ...]");
             System.exit(1);
         }
         
-        String filename = args[0];
+        List<String> filenames = Arrays.asList(args).subList(first, args.length);
         Scanner keyboard = new Scanner(System.in);
         
         // Ask user for data type
@@ -29,11 +53,11 @@ public class BinarySearchTreeDriver {
         
         // Create and process appropriate tree based on type
         if (type.equals("i")) {
-            processBST(filename, keyboard, Integer.class);
+            processBST(filenames, shardCount, keyboard, Integer.class);
         } else if (type.equals("d")) {
-            processBST(filename, keyboard, Double.class);
+            processBST(filenames, shardCount, keyboard, Double.class);
         } else if (type.equals("s")) {
-            processBST(filename, keyboard, String.class);
+            processBST(filenames, shardCount, keyboard, String.class);
         } else {
             System.out.println("Invalid type. Exiting.");
             System.exit(1);
@@ -44,38 +68,38 @@ public class BinarySearchTreeDriver {
     
     /**
      * Process BST operations based on data type
+     * A single input file builds one tree; several input files are read in
+     * parallel and build a sharded tree
      * 
-     * @param filename Input file name
+     * @param filenames Input file names
+     * @param shardCount Number of shards to use for several input files
      * @param keyboard Scanner for user input
      * @param clazz Class type for generic operations
      */
-    private static <T extends Comparable<T>> void processBST(String filename, 
+    private static <T extends Comparable<T>> void processBST(List<String> filenames,
+                                                            int shardCount,
                                                             Scanner keyboard,
                                                             Class<T> clazz) {
-        BinarySearchTree<T> bst = new BinarySearchTree<>();
+        List<T> values = readAllValues(filenames, clazz);
+        SearchTree<T> bst;
         
-        // Try to read data from file and build tree
-        try {
-            Scanner fileScanner = new Scanner(new File(filename));
-            while (fileScanner.hasNextLine()) {
-                String line = fileScanner.nextLine().trim();
-                if (!line.isEmpty()) {
-                    try {
-                        T value = parseValue(line, clazz);
-                        if (value != null) {
-                            bst.insert(value);
-                        }
-                    } catch (Exception e) {
-                        System.out.println("Error parsing value: " + line);
-                    }
-                }
+        if (filenames.size() > 1) {
+            // Sample evenly across the input to pick the shard boundaries
+            List<T> sample = new ArrayList<>();
+            int step = Math.max(1, values.size() / 1000);
+            for (int i = 0; i < values.size(); i += step) {
+                sample.add(values.get(i));
             }
-            fileScanner.close();
-        } catch (FileNotFoundException e) {
-            System.out.println("Error: File not found: " + filename);
-            System.exit(1);
+            
+            ShardedBinarySearchTree<T> forest = new ShardedBinarySearchTree<>(sample, shardCount);
+            forest.printShards();
+            bst = forest;
+        } else {
+            bst = new BinarySearchTree<>();
         }
         
+        bst.insertAll(values);
+        
         // Display available commands
         System.out.println("Commands:");
         System.out.println("(i) - Insert Item");
@@ -85,6 +109,7 @@ public class BinarySearchTreeDriver {
         System.out.println("(l) - Count Leaf Nodes");
         System.out.println("(s) - Find Single Parents");
         System.out.println("(c) - Find Cousins");
+        System.out.println("(g) - Print Range");
         System.out.println("(q) - Quit program");
         
         // Process user commands
@@ -164,6 +189,22 @@ public class BinarySearchTreeDriver {
                         bst.getCousins(valueToFindCousins);
                         break;
                         
+                    case "g":  // Print Range
+                        if (clazz == Integer.class || clazz == Double.class) {
+                            System.out.print("Enter the lower number: ");
+                        } else {
+                            System.out.print("Enter the lower string: ");
+                        }
+                        T low = parseValue(keyboard.nextLine().trim(), clazz);
+                        if (clazz == Integer.class || clazz == Double.class) {
+                            System.out.print("Enter the upper number: ");
+                        } else {
+                            System.out.print("Enter the upper string: ");
+                        }
+                        T high = parseValue(keyboard.nextLine().trim(), clazz);
+                        bst.getRange(low, high);
+                        break;
+                        
                     case "q":  // Quit
                         quit = true;
                         break;
@@ -177,6 +218,99 @@ public class BinarySearchTreeDriver {
         }
     }
     
+    /**
+     * Read every input file, one thread per file
+     * Parse errors are collected per file and reported here, in file order.
+     * With a single file they use the original message without the file name
+     * 
+     * @param filenames Input file names
+     * @param clazz Class type to parse to
+     * @return Parsed values, file by file in command-line order
+     */
+    private static <T extends Comparable<T>> List<T> readAllValues(List<String> filenames,
+                                                                  Class<T> clazz) {
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), filenames.size());
+        List<T> values = new ArrayList<>();
+        List<List<String>> errors = new ArrayList<>();
+        
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<T>>> results = new ArrayList<>();
+            for (String filename : filenames) {
+                List<String> fileErrors = new ArrayList<>();
+                errors.add(fileErrors);
+                results.add(pool.submit(() -> readValues(filename, clazz, fileErrors)));
+            }
+            for (Future<List<T>> result : results) {
+                values.addAll(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.out.println("Error: Interrupted while reading input files");
+            System.exit(1);
+        } catch (ExecutionException e) {
+            System.out.println("Error: " + e.getCause().getMessage());
+            System.exit(1);
+        } finally {
+            pool.shutdown();
+        }
+        
+        for (int i = 0; i < filenames.size(); i++) {
+            for (String token : errors.get(i)) {
+                if (filenames.size() > 1) {
+                    System.out.println("Error parsing value in " + filenames.get(i) + ": " + token);
+                } else {
+                    System.out.println("Error parsing value: " + token);
+                }
+            }
+        }
+        
+        return values;
+    }
+    
+    /**
+     * Read all values from a file
+     * Numbers may be separated by any whitespace; strings are one per line
+     * so that a line such as "New York" stays a single value.
+     * Values that cannot be parsed are skipped and recorded in errors
+     * 
+     * @param filename Input file name
+     * @param clazz Class type to parse to
+     * @param errors List that receives each value that could not be parsed
+     * @return Parsed values in file order
+     * @throws FileNotFoundException If the file does not exist
+     */
+    private static <T extends Comparable<T>> List<T> readValues(String filename,
+                                                               Class<T> clazz,
+                                                               List<String> errors)
+            throws FileNotFoundException {
+        List<T> values = new ArrayList<>();
+        
+        try (Scanner fileScanner = new Scanner(new File(filename))) {
+            if (clazz == String.class) {
+                while (fileScanner.hasNextLine()) {
+                    String line = fileScanner.nextLine().trim();
+                    if (!line.isEmpty()) {
+                        values.add(convertValue(line, clazz));
+                    }
+                }
+            } else {
+                while (fileScanner.hasNext()) {
+                    String token = fileScanner.next();
+                    try {
+                        values.add(convertValue(token, clazz));
+                    } catch (NumberFormatException e) {
+                        errors.add(token);
+                    }
+                }
+            }
+        } catch (FileNotFoundException e) {
+            throw new FileNotFoundException("File not found: " + filename);
+        }
+        
+        return values;
+    }
+    
     /**
      * Parse string value to the appropriate type
      * 
@@ -186,16 +320,28 @@ public class BinarySearchTreeDriver {
      */
     private static <T extends Comparable<T>> T parseValue(String value, Class<T> clazz) {
         try {
-            if (clazz == Integer.class) {
-                return (T) Integer.valueOf(value);
-            } else if (clazz == Double.class) {
-                return (T) Double.valueOf(value);
-            } else {
-                return (T) value;
-            }
+            return convertValue(value, clazz);
         } catch (NumberFormatException e) {
             System.out.println("Error parsing value: " + value);
             throw e;
         }
     }
+    
+    /**
+     * Convert string value to the appropriate type without printing anything
+     * 
+     * @param value String value to convert
+     * @param clazz Class type to convert to
+     * @return Converted value of type T
+     * @throws NumberFormatException If a numeric type cannot be parsed
+     */
+    private static <T extends Comparable<T>> T convertValue(String value, Class<T> clazz) {
+        if (clazz == Integer.class) {
+            return (T) Integer.valueOf(value);
+        } else if (clazz == Double.class) {
+            return (T) Double.valueOf(value);
+        } else {
+            return (T) value;
+        }
+    }
 }
@@ -0,0 +1,69 @@
+import java.util.List;
+
+/**
+ * Operations offered by the driver's command menu
+ * Implemented by both the single tree and the sharded forest
+ */
+public interface SearchTree<T extends Comparable<T>> {
+
+    /**
+     * Insert a value, reporting it if it already exists
+     *
+     * @param key The value to insert
+     */
+    void insert(T key);
+
+    /**
+     * Insert many values, reporting any that already exist
+     *
+     * @param keys The values to insert
+     */
+    void insertAll(List<T> keys);
+
+    /**
+     * Delete a value, reporting it if it is not present
+     *
+     * @param key The value to delete
+     */
+    void delete(T key);
+
+    /**
+     * Check if an item exists
+     *
+     * @param item Value to search for
+     * @return true if found, false otherwise
+     */
+    boolean retrieve(T item);
+
+    /**
+     * Print every value in sorted order
+     */
+    void inOrder();
+
+    /**
+     * Print the values between low and high (inclusive) in sorted order
+     *
+     * @param low Lower bound of the range
+     * @param high Upper bound of the range
+     */
+    void getRange(T low, T high);
+
+    /**
+     * Print nodes that have exactly one child (single parents)
+     */
+    void getSingleParent();
+
+    /**
+     * Count and print the number of leaf nodes
+     *
+     * @return Number of leaf nodes
+     */
+    int getNumLeafNodes();
+
+    /**
+     * Print the cousins of a given node
+     *
+     * @param item Value to find cousins of
+     */
+    void getCousins(T item);
+}
@@ -0,0 +1,363 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Range-partitioned forest of Binary Search Trees
+ * Each shard owns a contiguous key range and has its own lock,
+ * so writers to different ranges never block each other
+ *
+ * Sorted results (in-order, range, retrieve) are the same as for a single tree.
+ * Shape-dependent results (leaf nodes, single parents, cousins) describe the
+ * separate shard trees, not one combined tree. They depend on the shard count,
+ * and bulk-loaded shards are balanced, so they differ from a single tree built
+ * in input order. The printed output says so, shard by shard
+ */
+public class ShardedBinarySearchTree<T extends Comparable<T>> implements SearchTree<T> {
+
+    private final List<BinarySearchTree<T>> shards; // One tree per key range
+    private final ReentrantReadWriteLock[] locks; // One lock per shard
+    private final List<T> boundaries; // Lowest key of every shard except the first
+
+    /**
+     * Constructor that picks the shard boundaries from a sample of the input
+     * Boundaries are evenly spaced quantiles of the distinct sampled values
+     *
+     * @param sample Values representative of the keys that will be inserted
+     * @param shardCount Requested number of shards (fewer are used if the sample is small)
+     */
+    public ShardedBinarySearchTree(List<T> sample, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+
+        // Sort the sample and drop duplicates so boundaries are strictly increasing
+        List<T> distinct = sortedDistinct(sample, null);
+
+        // Shard i (i > 0) starts at the i-th quantile of the sample
+        boundaries = new ArrayList<>();
+        int count = Math.max(1, Math.min(shardCount, distinct.size()));
+        for (int i = 1; i < count; i++) {
+            boundaries.add(distinct.get(i * distinct.size() / count));
+        }
+
+        shards = new ArrayList<>();
+        locks = new ReentrantReadWriteLock[count];
+        for (int i = 0; i < count; i++) {
+            shards.add(new BinarySearchTree<>());
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Get the number of shards in the forest
+     *
+     * @return Number of shards
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Find the shard whose key range contains key
+     *
+     * @param key Value to locate
+     * @return Index of the owning shard
+     */
+    private int shardFor(T key) {
+        // Binary search for the number of boundaries that are <= key
+        int low = 0;
+        int high = boundaries.size();
+
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (boundaries.get(mid).compareTo(key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Insert a value into the shard that owns it
+     * No duplicates are allowed
+     *
+     * @param key The value to insert
+     */
+    public void insert(T key) {
+        int index = shardFor(key);
+        locks[index].writeLock().lock();
+        try {
+            shards.get(index).insert(key);
+        } finally {
+            locks[index].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Insert many values, building every shard on its own thread
+     * Values are bucketed by shard first so each worker only takes its own lock.
+     * Each worker inserts its bucket median-first, so the shards come out
+     * balanced even when the input is already sorted.
+     * Duplicates are reported from the calling thread once all shards are built
+     *
+     * @param keys The values to insert
+     */
+    public void insertAll(List<T> keys) {
+        List<List<T>> buckets = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (T key : keys) {
+            buckets.get(shardFor(key)).add(key);
+        }
+
+        List<T> duplicates = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(shards.size());
+        try {
+            List<Future<List<T>>> results = new ArrayList<>();
+            for (int i = 0; i < shards.size(); i++) {
+                final int index = i;
+                results.add(pool.submit(() -> buildShard(index, buckets.get(index))));
+            }
+
+            // Wait for every shard so the forest is complete when we return
+            for (Future<List<T>> result : results) {
+                duplicates.addAll(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while inserting", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error inserting into shard", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+
+        for (T key : duplicates) {
+            System.out.println("The item already exists in the tree: " + key);
+        }
+    }
+
+    /**
+     * Insert one shard's bucket, median of each sub-range first
+     *
+     * @param index Index of the shard to build
+     * @param bucket Values that belong to the shard
+     * @return Values that were already present, in sorted order
+     */
+    private List<T> buildShard(int index, List<T> bucket) {
+        List<T> duplicates = new ArrayList<>();
+        List<T> sorted = sortedDistinct(bucket, duplicates);
+
+        locks[index].writeLock().lock();
+        try {
+            // Each range is inserted middle value first, then its two halves
+            Deque<int[]> ranges = new ArrayDeque<>();
+            ranges.push(new int[] {0, sorted.size() - 1});
+
+            while (!ranges.isEmpty()) {
+                int[] range = ranges.pop();
+                if (range[0] > range[1]) {
+                    continue;
+                }
+
+                int mid = (range[0] + range[1]) >>> 1;
+                if (!shards.get(index).add(sorted.get(mid))) {
+                    duplicates.add(sorted.get(mid));
+                }
+                ranges.push(new int[] {mid + 1, range[1]});
+                ranges.push(new int[] {range[0], mid - 1});
+            }
+        } finally {
+            locks[index].writeLock().unlock();
+        }
+
+        Collections.sort(duplicates);
+        return duplicates;
+    }
+
+    /**
+     * Sort values and drop repeats
+     *
+     * @param values Values to sort
+     * @param repeats List that receives the dropped repeats, or null to discard them
+     * @return Sorted values with no repeats
+     */
+    private static <T extends Comparable<T>> List<T> sortedDistinct(List<T> values, List<T> repeats) {
+        List<T> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+
+        List<T> distinct = new ArrayList<>();
+        for (T value : sorted) {
+            if (distinct.isEmpty() || distinct.get(distinct.size() - 1).compareTo(value) != 0) {
+                distinct.add(value);
+            } else if (repeats != null) {
+                repeats.add(value);
+            }
+        }
+
+        return distinct;
+    }
+
+    /**
+     * Delete a value from the shard that owns it
+     * If key not found, the forest remains unchanged
+     *
+     * @param key The value to delete
+     */
+    public void delete(T key) {
+        int index = shardFor(key);
+        locks[index].writeLock().lock();
+        try {
+            shards.get(index).delete(key);
+        } finally {
+            locks[index].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Check if an item exists in the forest
+     *
+     * @param item Value to search for
+     * @return true if found, false otherwise
+     */
+    public boolean retrieve(T item) {
+        int index = shardFor(item);
+        locks[index].readLock().lock();
+        try {
+            return shards.get(index).retrieve(item);
+        } finally {
+            locks[index].readLock().unlock();
+        }
+    }
+
+    /**
+     * Print every value in sorted order
+     * Shards cover increasing key ranges, so visiting them in order keeps the output sorted
+     */
+    public void inOrder() {
+        List<T> values = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            locks[i].readLock().lock();
+            try {
+                shards.get(i).collectInOrder(values);
+            } finally {
+                locks[i].readLock().unlock();
+            }
+        }
+
+        System.out.print("In-order: ");
+        printValues(values);
+    }
+
+    /**
+     * Print the values between low and high (inclusive) in sorted order
+     * Only the shards whose key ranges overlap [low, high] are visited
+     *
+     * @param low Lower bound of the range
+     * @param high Upper bound of the range
+     */
+    public void getRange(T low, T high) {
+        List<T> values = new ArrayList<>();
+        if (low.compareTo(high) <= 0) {
+            int last = shardFor(high);
+            for (int i = shardFor(low); i <= last; i++) {
+                locks[i].readLock().lock();
+                try {
+                    shards.get(i).collectRange(low, high, values);
+                } finally {
+                    locks[i].readLock().unlock();
+                }
+            }
+        }
+
+        System.out.print("Range [" + low + ", " + high + "]: ");
+        printValues(values);
+    }
+
+    /**
+     * Print nodes that have exactly one child (single parents)
+     * One line per shard tree in key order, each in level order
+     */
+    public void getSingleParent() {
+        for (int i = 0; i < shards.size(); i++) {
+            List<T> values = new ArrayList<>();
+            locks[i].readLock().lock();
+            try {
+                shards.get(i).collectSingleParents(values);
+            } finally {
+                locks[i].readLock().unlock();
+            }
+
+            System.out.print("Single Parents (shard " + (i + 1) + " of " + shards.size() + "): ");
+            printValues(values);
+        }
+    }
+
+    /**
+     * Count and print the number of leaf nodes, summed over the shard trees
+     *
+     * @return Number of leaf nodes
+     */
+    public int getNumLeafNodes() {
+        int count = 0;
+        for (int i = 0; i < shards.size(); i++) {
+            locks[i].readLock().lock();
+            try {
+                count += shards.get(i).countLeafNodes();
+            } finally {
+                locks[i].readLock().unlock();
+            }
+        }
+
+        System.out.println("The number of leaf nodes are " + count
+                + " (summed over " + shards.size() + " shard trees)");
+        return count;
+    }
+
+    /**
+     * Print the cousins of a given node within the shard that owns it
+     *
+     * @param item Value to find cousins of
+     */
+    public void getCousins(T item) {
+        int index = shardFor(item);
+        System.out.print("Shard " + (index + 1) + " of " + shards.size() + ": ");
+        locks[index].readLock().lock();
+        try {
+            shards.get(index).getCousins(item);
+        } finally {
+            locks[index].readLock().unlock();
+        }
+    }
+
+    /**
+     * Print the shard boundaries, useful for checking how the input was split
+     */
+    public void printShards() {
+        System.out.println("Shards: " + shards.size() + ", boundaries: " + boundaries);
+    }
+
+    /**
+     * Print a list of values on one line
+     *
+     * @param values Values to print
+     */
+    private void printValues(List<T> values) {
+        for (T value : values) {
+            System.out.print(value + " ");
+        }
+        System.out.println();
+    }
+}